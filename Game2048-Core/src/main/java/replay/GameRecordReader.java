@@ -0,0 +1,193 @@
+package replay;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static replay.GameRecordWriter.*;
+
+/**
+ * Memory‑mapped reader for files written by {@link GameRecordWriter}.
+ * The file is mapped in 1 GB segments so multi‑GB records work; positions are
+ * decoded on the fly by a reusable {@link Cursor}, nothing is copied onto the heap.
+ * A truncated tail (e.g. the client was killed mid‑game) ends the last game; a game
+ * whose header or initial board is cut off is not listed at all.
+ */
+public class GameRecordReader implements Closeable {
+
+    private static final int  SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_MASK  = (1L << SEGMENT_SHIFT) - 1;
+
+    private final FileChannel ch;
+    private final MappedByteBuffer[] segments;
+    private final long size;
+
+    private GameRecordReader(FileChannel ch) throws IOException {
+        this.ch = ch;
+        this.size = ch.size();
+        int n = (int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        segments = new MappedByteBuffer[n];
+        for (int i = 0; i < n; i++) {
+            long from = (long) i << SEGMENT_SHIFT;
+            segments[i] = ch.map(FileChannel.MapMode.READ_ONLY, from, Math.min(SEGMENT_MASK + 1, size - from));
+        }
+    }
+
+    public static GameRecordReader open(Path file) throws IOException {
+        GameRecordReader r = new GameRecordReader(FileChannel.open(file, StandardOpenOption.READ));
+        if (r.size < HEADER_SIZE || r.readInt(0) != MAGIC || r.byteAt(4) != FORMAT) {
+            r.close();
+            throw new IOException("Not a game record: " + file);
+        }
+        return r;
+    }
+
+    public long size() { return size; }
+
+    /** offset of the first game, -1 if the file holds none */
+    public long firstGame() {
+        return complete(HEADER_SIZE) ? HEADER_SIZE : -1;
+    }
+
+    /** offset of the game following the one at {@code game}, -1 at end of file */
+    public long nextGame(long game) {
+        if (!complete(game)) return -1;
+        long p = bodyStart(game);
+        while (p < size) {
+            int t = byteAt(p);
+            if (t == TAG_GAME) return complete(p) ? p : -1;
+            if (t == TAG_KEY)      p += KEY_SIZE;
+            else if (t == TAG_END) p += END_SIZE;
+            else                   p++;
+        }
+        return -1;
+    }
+
+    public Cursor cursor(long game) {
+        Cursor c = new Cursor();
+        c.reset(game);
+        return c;
+    }
+
+    @Override public void close() throws IOException { ch.close(); }
+
+    /**
+     * Walks the positions of one game. After {@link #reset(long)} it sits on ply 0
+     * (the initial board); every {@link #next()} applies one move and its spawn.
+     */
+    public class Cursor {
+        private long game, pos;
+        private int ply, score, move, spawnCell, spawnValue;
+        private long board;
+
+        public void reset(long game) {
+            if (!complete(game)) throw new IllegalArgumentException("No game at offset " + game);
+            this.game = game;
+            pos = bodyStart(game);
+            readKeyframe();
+            move = spawnCell = spawnValue = -1;
+        }
+
+        /** advances one ply, false once the game is over or the file ends */
+        public boolean next() {
+            while (pos < size) {
+                int t = byteAt(pos);
+                if (t == TAG_KEY) {
+                    if (!readKeyframe()) return false;
+                    continue;
+                }
+                if ((t & 0x80) != 0) return false;      // END or next GAME
+                move       = t & 3;
+                spawnCell  = (t >>> 2) & 15;
+                spawnValue = (t & 0x40) != 0 ? 4 : 2;
+                score += PackedBoard.gain(board, move);
+                board  = PackedBoard.place(PackedBoard.move(board, move), spawnCell, spawnValue);
+                ply++;
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        /** jumps to {@code target} from the nearest keyframe, false if the game is shorter */
+        public boolean seek(int target) {
+            long p = bodyStart(game), key = p;
+            int plies = 0;
+            while (p < size && plies <= target) {
+                int t = byteAt(p);
+                if (t == TAG_KEY) {
+                    if (p + KEY_SIZE > size) break;
+                    plies = readInt(p + 1);
+                    if (plies > target) break;
+                    key = p;
+                    p += KEY_SIZE;
+                } else if ((t & 0x80) != 0) {
+                    break;
+                } else {
+                    plies++;
+                    p++;
+                }
+            }
+            pos = key;
+            readKeyframe();
+            move = spawnCell = spawnValue = -1;
+            while (ply < target && next()) ;
+            return ply == target;
+        }
+
+        public int  ply()        { return ply; }
+        public long board()      { return board; }
+        public int  score()      { return score; }
+        /** move that led to this position, -1 on a fresh reset/seek */
+        public int  move()       { return move; }
+        public int  spawnCell()  { return spawnCell; }
+        public int  spawnValue() { return spawnValue; }
+        public long seed()       { return readLong(game + 1); }
+
+        public String engine() {
+            int len = readShort(game + 9);
+            byte[] b = new byte[len];
+            for (int i = 0; i < len; i++) b[i] = (byte) byteAt(game + GAME_SIZE + i);
+            return new String(b, StandardCharsets.UTF_8);
+        }
+
+        private boolean readKeyframe() {
+            if (pos + KEY_SIZE > size || byteAt(pos) != TAG_KEY) return false;
+            ply   = readInt(pos + 1);
+            board = readLong(pos + 5);
+            score = readInt(pos + 13);
+            pos  += KEY_SIZE;
+            return true;
+        }
+    }
+
+    /* ---------------- raw access ---------------- */
+    /** whether a full game header and its initial keyframe start at {@code game} */
+    private boolean complete(long game) {
+        if (game < 0 || game + GAME_SIZE > size || byteAt(game) != TAG_GAME) return false;
+        long body = bodyStart(game);
+        return body + KEY_SIZE <= size && byteAt(body) == TAG_KEY;
+    }
+
+    /** only valid once the fixed part of the header is known to be in the file */
+    private long bodyStart(long game) {
+        return game + GAME_SIZE + readShort(game + 9);
+    }
+
+    private int byteAt(long p) {
+        return segments[(int) (p >>> SEGMENT_SHIFT)].get((int) (p & SEGMENT_MASK)) & 0xFF;
+    }
+    private int readShort(long p) {
+        return byteAt(p) << 8 | byteAt(p + 1);
+    }
+    private int readInt(long p) {
+        return readShort(p) << 16 | readShort(p + 2);
+    }
+    private long readLong(long p) {
+        return (long) readInt(p) << 32 | (readInt(p + 4) & 0xFFFFFFFFL);
+    }
+}
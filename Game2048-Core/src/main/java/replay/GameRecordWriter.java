@@ -0,0 +1,158 @@
+package replay;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append‑only writer for the binary game‑record format (*.g2r).
+ *
+ * <pre>
+ * file     := MAGIC(int "2048") FORMAT(byte) game*
+ * game     := GAME seed(long) engine(UTF) keyframe (ply | keyframe)* [END score(int)]
+ * keyframe := KEY  ply(int) board(long, {@link PackedBoard}) score(int)
+ * ply      := one byte 0b0VCCCCDD   DD move, CCCC spawn cell, V spawn was a 4
+ * </pre>
+ * Tag bytes have the high bit set, ply bytes never do. A keyframe is written every
+ * {@code keyframeInterval} plies so readers can seek without replaying the whole game.
+ * Appending to an existing file first trims a record torn by a killed writer,
+ * so new games always start on a clean record boundary. That check reads the whole
+ * existing file once, so open large records off the UI thread. A file that is corrupt
+ * before its tail is refused with an IOException and left untouched.
+ */
+public class GameRecordWriter implements Closeable {
+
+    static final int  MAGIC  = 0x32303438;   // "2048"
+    static final byte FORMAT = 1;
+    static final int  HEADER_SIZE = 5;
+
+    static final int TAG_KEY  = 0xFF;
+    static final int TAG_GAME = 0xFE;
+    static final int TAG_END  = 0xFD;
+
+    static final int GAME_SIZE = 11;         // tag + seed + UTF length, before the engine bytes
+    static final int KEY_SIZE  = 17;
+    static final int END_SIZE  = 5;
+
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 256;
+
+    private final DataOutputStream out;
+    private final int keyframeInterval;
+    private boolean inGame = false;
+    private int ply;
+
+    public GameRecordWriter(File file) throws IOException {
+        this(file, DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    public GameRecordWriter(File file, int keyframeInterval) throws IOException {
+        boolean fresh = !file.exists() || file.length() == 0;
+        if (!fresh) {
+            long valid = validLength(file);
+            if (valid < file.length())
+                try (FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+                    ch.truncate(valid);
+                }
+        }
+        this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+        this.keyframeInterval = keyframeInterval;
+        if (fresh) {
+            out.writeInt(MAGIC);
+            out.writeByte(FORMAT);
+        }
+    }
+
+    /** starts a new game; an unfinished previous game is left without END */
+    public synchronized void beginGame(long seed, String engine, long board, int score) throws IOException {
+        out.writeByte(TAG_GAME);
+        out.writeLong(seed);
+        out.writeUTF(engine);
+        ply = 0;
+        inGame = true;
+        writeKeyframe(board, score);
+    }
+
+    /**
+     * @param dir        move 0..3
+     * @param spawnCell  cell 0..15 of the tile spawned after the move
+     * @param spawnValue 2 or 4
+     * @param board      packed board after the spawn, used for keyframes
+     * @param score      score after the move
+     */
+    public synchronized void recordMove(int dir, int spawnCell, int spawnValue, long board, int score) throws IOException {
+        if (!inGame) throw new IllegalStateException("recordMove before beginGame");
+        out.writeByte((dir & 3) | (spawnCell & 15) << 2 | (spawnValue == 4 ? 0x40 : 0));
+        if (++ply % keyframeInterval == 0) writeKeyframe(board, score);
+    }
+
+    public synchronized void endGame(int score) throws IOException {
+        if (!inGame) return;
+        out.writeByte(TAG_END);
+        out.writeInt(score);
+        out.flush();
+        inGame = false;
+    }
+
+    public synchronized void flush() throws IOException { out.flush(); }
+
+    public boolean inGame() { return inGame; }
+
+    @Override public synchronized void close() throws IOException { out.close(); }
+
+    /**
+     * length of the file up to the end of its last complete record; only a record cut
+     * off by EOF is dropped, anything malformed before that throws
+     */
+    static long validLength(File file) throws IOException {
+        long len = file.length();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (len < HEADER_SIZE || in.readInt() != MAGIC || in.readByte() != FORMAT)
+                throw new IOException("Not a game record: " + file);
+            byte[] buf = new byte[GAME_SIZE + 0xFFFF + KEY_SIZE];
+            long pos = HEADER_SIZE;
+            while (true) {
+                int t = in.read();
+                if (t < 0) return pos;
+                int size;
+                if (t == TAG_GAME) {                   // header and initial keyframe are one unit
+                    if (!fill(in, buf, GAME_SIZE - 1)) return pos;
+                    int utf = (buf[8] & 0xFF) << 8 | (buf[9] & 0xFF);
+                    if (!fill(in, buf, utf + KEY_SIZE)) return pos;
+                    if ((buf[utf] & 0xFF) != TAG_KEY) throw corrupt(file, pos);
+                    size = GAME_SIZE + utf + KEY_SIZE;
+                } else if (t == TAG_KEY) {
+                    if (!fill(in, buf, KEY_SIZE - 1)) return pos;
+                    size = KEY_SIZE;
+                } else if (t == TAG_END) {
+                    if (!fill(in, buf, END_SIZE - 1)) return pos;
+                    size = END_SIZE;
+                } else if ((t & 0x80) != 0) {
+                    throw corrupt(file, pos);
+                } else {
+                    size = 1;
+                }
+                pos += size;
+            }
+        }
+    }
+
+    private static IOException corrupt(File file, long pos) {
+        return new IOException("Corrupt game record " + file + " at offset " + pos);
+    }
+
+    private static boolean fill(DataInputStream in, byte[] buf, int n) throws IOException {
+        try {
+            in.readFully(buf, 0, n);
+            return true;
+        } catch (EOFException ex) {
+            return false;
+        }
+    }
+
+    private void writeKeyframe(long board, int score) throws IOException {
+        out.writeByte(TAG_KEY);
+        out.writeInt(ply);
+        out.writeLong(board);
+        out.writeInt(score);
+    }
+}
@@ -0,0 +1,138 @@
+package replay;
+
+/**
+ * 4x4 board packed into one long: 16 nibbles, each the log2 of a tile (0 = empty).
+ * Cell (r, c) lives at nibble r*4 + c, so row r is bits [16r, 16r+16).
+ * 方向编号与 AutoSolver 相同：0 左, 1 右, 2 上, 3 下
+ */
+public final class PackedBoard {
+
+    private static final int SIZE = 4;
+
+    /* row → row after sliding left, and the score gained by that slide */
+    private static final short[] LEFT  = new short[1 << 16];
+    private static final short[] RIGHT = new short[1 << 16];
+    private static final int[]   GAIN  = new int[1 << 16];
+    static {
+        for (int row = 0; row < (1 << 16); row++) {
+            int[] out = new int[SIZE];
+            int pos = 0, last = 0, gain = 0;
+            for (int c = 0; c < SIZE; c++) {
+                int v = (row >>> (c * 4)) & 15;
+                if (v == 0) continue;
+                if (v == last && v < 15) {       // 15 (32768) is the largest nibble, never merged
+                    out[pos - 1] = v + 1;
+                    gain += 1 << (v + 1);
+                    last = 0;
+                } else {
+                    out[pos++] = v;
+                    last = v;
+                }
+            }
+            int res = out[0] | out[1] << 4 | out[2] << 8 | out[3] << 12;
+            LEFT[row] = (short) res;
+            GAIN[row] = gain;
+            RIGHT[reverseRow(row)] = (short) reverseRow(res);
+        }
+    }
+
+    private PackedBoard() {}
+
+    public static long pack(int[][] board) {
+        long b = 0;
+        for (int r = 0; r < SIZE; r++)
+            for (int c = 0; c < SIZE; c++) {
+                int v = board[r][c];
+                if (v != 0) b |= (long) Integer.numberOfTrailingZeros(v) << ((r * SIZE + c) * 4);
+            }
+        return b;
+    }
+
+    public static int[][] unpack(long b) {
+        int[][] board = new int[SIZE][SIZE];
+        unpack(b, board);
+        return board;
+    }
+
+    public static void unpack(long b, int[][] into) {
+        for (int r = 0; r < SIZE; r++)
+            for (int c = 0; c < SIZE; c++) {
+                int e = exponent(b, r * SIZE + c);
+                into[r][c] = e == 0 ? 0 : 1 << e;
+            }
+    }
+
+    /** log2 of the tile at cell 0..15, 0 when empty */
+    public static int exponent(long b, int cell) {
+        return (int) (b >>> (cell * 4)) & 15;
+    }
+
+    /** tile value 2 or 4 placed at cell 0..15 */
+    public static long place(long b, int cell, int value) {
+        return b | (long) (value == 4 ? 2 : 1) << (cell * 4);
+    }
+
+    public static int emptyCount(long b) {
+        int n = 0;
+        for (int i = 0; i < SIZE * SIZE; i++) if (exponent(b, i) == 0) n++;
+        return n;
+    }
+
+    /** index of the n‑th empty cell in row‑major order, -1 if there are fewer */
+    public static int nthEmpty(long b, int n) {
+        for (int i = 0; i < SIZE * SIZE; i++)
+            if (exponent(b, i) == 0 && n-- == 0) return i;
+        return -1;
+    }
+
+    public static long move(long b, int dir) {
+        switch (dir) {
+            case 0: return slideRows(b, LEFT);
+            case 1: return slideRows(b, RIGHT);
+            case 2: return transpose(slideRows(transpose(b), LEFT));
+            case 3: return transpose(slideRows(transpose(b), RIGHT));
+        }
+        return b;
+    }
+
+    /** score gained by {@link #move(long, int)} */
+    public static int gain(long b, int dir) {
+        long rows = dir >= 2 ? transpose(b) : b;
+        boolean reversed = dir == 1 || dir == 3;
+        int sum = 0;
+        for (int r = 0; r < SIZE; r++) {
+            int row = (int) (rows >>> (r * 16)) & 0xFFFF;
+            sum += GAIN[reversed ? reverseRow(row) : row];
+        }
+        return sum;
+    }
+
+    public static boolean canMove(long b) {
+        for (int d = 0; d < 4; d++) if (move(b, d) != b) return true;
+        return false;
+    }
+
+    private static long slideRows(long b, short[] table) {
+        long res = 0;
+        for (int r = 0; r < SIZE; r++) {
+            int row = (int) (b >>> (r * 16)) & 0xFFFF;
+            res |= (long) (table[row] & 0xFFFF) << (r * 16);
+        }
+        return res;
+    }
+
+    private static int reverseRow(int row) {
+        return (row >>> 12) | ((row >>> 4) & 0x00F0) | ((row << 4) & 0x0F00) | ((row << 12) & 0xF000);
+    }
+
+    private static long transpose(long x) {
+        long a1 = x & 0xF0F00F0FF0F00F0FL;
+        long a2 = x & 0x0000F0F00000F0F0L;
+        long a3 = x & 0x0F0F00000F0F0000L;
+        long a  = a1 | (a2 << 12) | (a3 >>> 12);
+        long b1 = a & 0xFF00FF0000FF00FFL;
+        long b2 = a & 0x00FF00FF00000000L;
+        long b3 = a & 0x00000000FF00FF00L;
+        return b1 | (b2 >>> 24) | (b3 << 24);
+    }
+}
@@ -0,0 +1,58 @@
+package replay;
+
+import solver.AutoSolver;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Headless AI runs streamed into a game record.
+ * Usage: java -cp Game2048-Swing.jar replay.SelfPlay games.g2r [games] [seed]
+ */
+public class SelfPlay {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: SelfPlay <file.g2r> [games] [seed]");
+            return;
+        }
+        File file = new File(args[0]);
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+
+        AutoSolver solver = new AutoSolver();
+        try (GameRecordWriter writer = new GameRecordWriter(file)) {
+            for (int g = 0; g < games; g++) {
+                int score = play(solver, writer, seed + g);
+                System.out.println("game " + (g + 1) + "/" + games + "  score " + score);
+            }
+        }
+    }
+
+    static int play(AutoSolver solver, GameRecordWriter writer, long seed) throws IOException {
+        Random rand = new Random(seed);
+        long board = spawn(spawn(0L, rand), rand);
+        int score = 0;
+        int[][] grid = new int[4][4];
+        writer.beginGame(seed, "SelfPlay/" + AutoSolver.VERSION, board, score);
+
+        while (PackedBoard.canMove(board)) {
+            PackedBoard.unpack(board, grid);
+            int dir = solver.nextMove(grid);
+            long moved = PackedBoard.move(board, dir);
+            score += PackedBoard.gain(board, dir);
+            int cell = PackedBoard.nthEmpty(moved, rand.nextInt(PackedBoard.emptyCount(moved)));
+            int value = rand.nextDouble() < 0.9 ? 2 : 4;
+            board = PackedBoard.place(moved, cell, value);
+            writer.recordMove(dir, cell, value, board, score);
+        }
+        writer.endGame(score);
+        return score;
+    }
+
+    private static long spawn(long board, Random rand) {
+        int cell = PackedBoard.nthEmpty(board, rand.nextInt(PackedBoard.emptyCount(board)));
+        return PackedBoard.place(board, cell, rand.nextDouble() < 0.9 ? 2 : 4);
+    }
+}
@@ -5,9 +5,12 @@ import java.util.*;
 /**
  * Iterative‑Deepening Expectimax with Transposition Table
  * 方向编号：0 左, 1 右, 2 上, 3 下
+ * One instance per thread: the transposition table is not shared.
  */
 public class AutoSolver {
 
+    /** stored in game records; bump when the search or evaluation changes */
+    public static final String VERSION = "expectimax-1";
 
     private static final int   BASE_DEPTH   = 4;
     private static final long  TIME_BUDGET  = 40_000;
@@ -15,15 +18,29 @@ public class AutoSolver {
     private static final Random RAND        = new Random();
 
 
+    /**
+     * best move and the deepest fully searched depth; with depth 0 no iteration finished
+     * and move is just the first legal one, -1 when the board cannot move at all
+     */
+    public static final class Result {
+        public final int move, depth;
+        Result(int move, int depth) { this.move = move; this.depth = depth; }
+    }
+
     public int nextMove(int[][] board) {
-        long deadline = System.nanoTime() + TIME_BUDGET * 1000;
-        int bestDir = 0;
+        return search(board, TIME_BUDGET).move;
+    }
+
+    /** @param budgetMicros time budget in µs */
+    public Result search(int[][] board, long budgetMicros) {
+        long deadline = System.nanoTime() + budgetMicros * 1000;
+        int[] order = {0, 3, 2, 1};
+        int bestDir = -1, bestDepth = 0;
         double bestVal = Double.NEGATIVE_INFINITY;
 
 
         for (int depth = 2; depth <= 12; depth++) {
             TT.clear();
-            int[] order = {0, 3, 2, 1};
             int localBest = -1;
             double localVal = Double.NEGATIVE_INFINITY;
 
@@ -41,13 +58,17 @@ public class AutoSolver {
             if (localBest != -1) {
                 bestDir = localBest;
                 bestVal = localVal;
+                bestDepth = depth;
             }
         }
-        return bestDir;
+        if (bestDepth == 0)
+            for (int dir : order)
+                if (move(cloneBoard(board), dir)) { bestDir = dir; break; }
+        return new Result(bestDir, bestDepth);
     }
 
 
-    private static final Map<Long, Double> TT = new HashMap<>();
+    private final Map<Long, Double> TT = new HashMap<>();
 
     private double expectimax(int[][] board, int depth, boolean isPlayer, long deadline) {
         if (depth == 0 || !canMove(board) || System.nanoTime() > deadline)
@@ -0,0 +1,163 @@
+package replay;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameRecordTest {
+
+    @TempDir File dir;
+
+    /** plays random legal moves, recording each game; returns the boards of every game by ply */
+    private static List<long[]> writeGames(File file, int games, int keyframeInterval, long seed) throws IOException {
+        Random rand = new Random(seed);
+        List<long[]> truth = new ArrayList<>();
+        try (GameRecordWriter w = new GameRecordWriter(file, keyframeInterval)) {
+            for (int g = 0; g < games; g++) {
+                long board = PackedBoard.place(PackedBoard.place(0L, 3, 2), 9, 4);
+                int score = 0;
+                List<Long> boards = new ArrayList<>();
+                boards.add(board);
+                w.beginGame(seed + g, "test/" + g, board, score);
+                while (PackedBoard.canMove(board)) {
+                    int dir;
+                    do dir = rand.nextInt(4); while (PackedBoard.move(board, dir) == board);
+                    long moved = PackedBoard.move(board, dir);
+                    score += PackedBoard.gain(board, dir);
+                    int cell = PackedBoard.nthEmpty(moved, rand.nextInt(PackedBoard.emptyCount(moved)));
+                    int value = rand.nextBoolean() ? 2 : 4;
+                    board = PackedBoard.place(moved, cell, value);
+                    w.recordMove(dir, cell, value, board, score);
+                    boards.add(board);
+                }
+                w.endGame(score);
+                long[] arr = new long[boards.size()];
+                for (int i = 0; i < arr.length; i++) arr[i] = boards.get(i);
+                truth.add(arr);
+            }
+        }
+        return truth;
+    }
+
+    private static int countGames(GameRecordReader r) {
+        int n = 0;
+        for (long off = r.firstGame(); off >= 0; off = r.nextGame(off)) n++;
+        return n;
+    }
+
+    @Test
+    void roundTripAndSeek() throws IOException {
+        File file = new File(dir, "games.g2r");
+        List<long[]> truth = writeGames(file, 3, 16, 42);
+
+        try (GameRecordReader r = GameRecordReader.open(file.toPath())) {
+            int g = 0;
+            for (long off = r.firstGame(); off >= 0; off = r.nextGame(off), g++) {
+                long[] boards = truth.get(g);
+                GameRecordReader.Cursor c = r.cursor(off);
+                assertEquals(42 + g, c.seed());
+                assertEquals("test/" + g, c.engine());
+                assertEquals(boards[0], c.board());
+                int ply = 0;
+                while (c.next()) {
+                    ply++;
+                    assertEquals(ply, c.ply());
+                    assertEquals(boards[ply], c.board());
+                }
+                assertEquals(boards.length - 1, ply);
+
+                for (int target = boards.length - 1; target >= 0; target -= 5) {
+                    assertTrue(c.seek(target));
+                    assertEquals(boards[target], c.board());
+                }
+                assertFalse(c.seek(boards.length));
+            }
+            assertEquals(3, g);
+        }
+    }
+
+    @Test
+    void truncatedTailEndsIteration() throws IOException {
+        File file = new File(dir, "cut.g2r");
+        writeGames(file, 2, 16, 7);
+        long second;
+        try (GameRecordReader r = GameRecordReader.open(file.toPath())) {
+            second = r.nextGame(r.firstGame());
+        }
+
+        /* cut inside the second game's header: only the first game is left */
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) { raf.setLength(second + 6); }
+        try (GameRecordReader r = GameRecordReader.open(file.toPath())) {
+            assertEquals(1, countGames(r));
+            GameRecordReader.Cursor c = r.cursor(r.firstGame());
+            while (c.next()) ;
+            assertThrows(IllegalArgumentException.class, () -> r.cursor(second));
+        }
+    }
+
+    @Test
+    void appendAfterTornKeyframeKeepsNewGames() throws IOException {
+        File file = new File(dir, "torn.g2r");
+        List<long[]> first = writeGames(file, 1, 4, 1);
+
+        /* tear the file inside the last keyframe (written after ply m), dropping what follows */
+        int m = (first.get(0).length - 1) / 4 * 4;
+        assertTrue(m > 0);
+        long key = GameRecordWriter.HEADER_SIZE + GameRecordWriter.GAME_SIZE + "test/0".length()
+                + GameRecordWriter.KEY_SIZE + m + (long) GameRecordWriter.KEY_SIZE * (m / 4 - 1);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(key);
+            assertEquals(GameRecordWriter.TAG_KEY, raf.read());
+            raf.setLength(key + 8);
+        }
+
+        List<long[]> appended = writeGames(file, 2, 4, 100);
+        try (GameRecordReader r = GameRecordReader.open(file.toPath())) {
+            assertEquals(3, countGames(r));
+            long off = r.nextGame(r.firstGame());
+            for (long[] boards : appended) {
+                GameRecordReader.Cursor c = r.cursor(off);
+                assertTrue(c.seek(boards.length - 1));
+                assertEquals(boards[boards.length - 1], c.board());
+                off = r.nextGame(off);
+            }
+            assertEquals(first.get(0)[0], r.cursor(r.firstGame()).board());
+        }
+    }
+
+    @Test
+    void corruptByteMidFileIsRefusedNotTrimmed() throws IOException {
+        File file = new File(dir, "corrupt.g2r");
+        writeGames(file, 3, 16, 5);
+        long len = file.length();
+
+        /* first game's plies start right after its header and initial keyframe */
+        long ply = GameRecordWriter.HEADER_SIZE + GameRecordWriter.GAME_SIZE + "test/0".length()
+                + GameRecordWriter.KEY_SIZE + 6;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(ply);
+            assertEquals(0, raf.read() & 0x80);
+            raf.seek(ply);
+            raf.write(0x90);
+        }
+
+        assertThrows(IOException.class, () -> new GameRecordWriter(file));
+        assertEquals(len, file.length());
+    }
+
+    @Test
+    void rejectsForeignFile() throws IOException {
+        File file = new File(dir, "junk.g2r");
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) { raf.writeBytes("not a record"); }
+        assertThrows(IOException.class, () -> new GameRecordWriter(file));
+        assertThrows(IOException.class, () -> GameRecordReader.open(file.toPath()));
+    }
+}
@@ -10,7 +10,7 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 @SpringBootApplication
 @EnableJpaRepositories(basePackages = "repository")
 @EntityScan(basePackages = "entity")
-@ComponentScan(basePackages = { "controller", "repository", "entity" })
+@ComponentScan(basePackages = { "controller", "repository", "entity", "stats", "solve" })
 public class Game2048ServerApplication {
     public static void main(String[] args) {
         SpringApplication.run(Game2048ServerApplication.class, args);
@@ -7,6 +7,7 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import repository.ScoreRepository;
+import stats.ScoreStatsService;
 
 import java.util.List;
 
@@ -15,16 +16,18 @@ import java.util.List;
 public class LeaderboardPageController {
 
     private final ScoreRepository repo;
-    public LeaderboardPageController(ScoreRepository r){ this.repo = r; }
+    private final ScoreStatsService stats;
+    public LeaderboardPageController(ScoreRepository r, ScoreStatsService st){ this.repo = r; this.stats = st; }
 
     /** GET /scores  返回美化后的排行榜页面 */
     @GetMapping(value = "/scores", produces = MediaType.TEXT_HTML_VALUE)
     public String leaderboard(Model model){
         List<LeaderboardEntry> list = repo.findTop20ByOrderByScoreDescTimeAsc()
                 .stream()
-                .map(s -> new LeaderboardEntry(s.getName(), s.getScore()))
+                .map(s -> new LeaderboardEntry(s.getName(), s.getScore(), s.getMaxTile()))
                 .toList();
         model.addAttribute("scores", list);
+        model.addAttribute("stats", stats.snapshot());
         return "leaderboard";           // ↔ templates/leaderboard.html
     }
 }
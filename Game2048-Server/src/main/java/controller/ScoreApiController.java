@@ -5,6 +5,8 @@ import net.dto.LeaderboardEntry;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import repository.ScoreRepository;
+import stats.ScoreHistogram;
+import stats.ScoreStatsService;
 
 import java.util.List;
 
@@ -14,12 +16,20 @@ import java.util.List;
 public class ScoreApiController {
 
     private final ScoreRepository repo;
-    public ScoreApiController(ScoreRepository r){ this.repo = r; }
+    private final ScoreStatsService stats;
+    public ScoreApiController(ScoreRepository r, ScoreStatsService st){ this.repo = r; this.stats = st; }
 
     /** POST /scores  upload score */
     @PostMapping
     public void add(@RequestBody LeaderboardEntry dto){
-        repo.save(new Score(dto.name(), dto.score()));
+        int tile = validTile(dto.maxTile());
+        repo.save(new Score(dto.name(), dto.score(), tile));
+        stats.record(dto.score(), tile);
+    }
+
+    /** power of two in 2..65536, anything else is stored as 0 (unknown) */
+    private static int validTile(int t){
+        return t >= 2 && t <= 65536 && Integer.bitCount(t) == 1 ? t : 0;
     }
 
     /** GET /scores/json  return JSON list */
@@ -27,7 +37,13 @@ public class ScoreApiController {
     public List<LeaderboardEntry> topJson(){
         return repo.findTop20ByOrderByScoreDescTimeAsc()
                 .stream()
-                .map(s -> new LeaderboardEntry(s.getName(), s.getScore()))
+                .map(s -> new LeaderboardEntry(s.getName(), s.getScore(), s.getMaxTile()))
                 .toList();
     }
+
+    /** GET /scores/stats  median / p90 / p99 and games per max tile */
+    @GetMapping(value = "/stats", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ScoreHistogram.Snapshot stats(){
+        return stats.snapshot();
+    }
 }
@@ -0,0 +1,23 @@
+package controller;
+
+import net.dto.SolveRequest;
+import net.dto.SolveResponse;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import solve.SolveService;
+
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@CrossOrigin
+public class SolveApiController {
+
+    private final SolveService solver;
+    public SolveApiController(SolveService s){ this.solver = s; }
+
+    /** POST /solve  best move for a board, 429 when the solver queue is full */
+    @PostMapping(value = "/solve", produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<SolveResponse> solve(@RequestBody SolveRequest req){
+        return solver.solve(req.board(), req.budgetMs());
+    }
+}
@@ -10,12 +10,15 @@ public class Score {
     private Long id;
     private String name;
     private int score;
+    private Integer maxTile;                 // null for scores uploaded before it was tracked
     private LocalDateTime time = LocalDateTime.now();
 
     public Score(){}
     public Score(String n,int s){name=n;score=s;}
+    public Score(String n,int s,int t){name=n;score=s;maxTile=t;}
 
     public String getName(){return name;}
     public int getScore(){return score;}
+    public int getMaxTile(){return maxTile == null ? 0 : maxTile;}
     public LocalDateTime getTime(){return time;}
 }
@@ -1,3 +1,3 @@
 
 package net.dto;
-public record LeaderboardEntry(String name,int score){}
+public record LeaderboardEntry(String name,int score,int maxTile){}
@@ -0,0 +1,3 @@
+package net.dto;
+/** board as 4x4 tile values (0 = empty), budgetMs ≤ 0 means the default budget */
+public record SolveRequest(int[][] board,long budgetMs){}
@@ -0,0 +1,7 @@
+package net.dto;
+/**
+ * move 0 left, 1 right, 2 up, 3 down; -1 when the board has no legal move (game over),
+ * so clients must not apply it. depth is the deepest finished search; 0 means the budget
+ * ran out before depth 2 and move is only the first legal direction (never cached).
+ */
+public record SolveResponse(int move,int depth,boolean cached){}
@@ -2,9 +2,12 @@
 package repository;
 
 import entity.Score;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import java.util.List;
 
 public interface ScoreRepository extends JpaRepository<Score,Long>{
     List<Score> findTop20ByOrderByScoreDescTimeAsc();
+    Slice<Score> findAllBy(Pageable page);
 }
@@ -0,0 +1,133 @@
+package solve;
+
+import jakarta.annotation.PreDestroy;
+import net.dto.SolveResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import replay.PackedBoard;
+import solver.AutoSolver;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Runs {@link AutoSolver} for POST /solve on a fixed pool of one worker per core.
+ * Requests wait in a bounded queue and each idle worker takes the next one, so distinct
+ * boards are searched in parallel. Concurrent requests for a board already queued or
+ * being searched with at least the same budget share that search instead of queueing.
+ * Results go into an LRU cache keyed by the packed board; an entry only answers
+ * requests whose budget is no larger than the one it was searched with.
+ * A full queue is rejected with 429 instead of growing.
+ */
+@Service
+public class SolveService {
+
+    private static final long DEFAULT_BUDGET = 40;       // ms, same as the desktop AI
+    private static final long MAX_BUDGET     = 1000;
+
+    private final BlockingQueue<Job> queue;
+    private final Map<Long, Entry> cache;
+    private final ConcurrentMap<Long, Job> inFlight = new ConcurrentHashMap<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean closed = false;
+
+    public SolveService(@Value("${solver.queue.capacity:256}") int queueCapacity,
+                        @Value("${solver.cache.size:100000}") int cacheSize) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override protected boolean removeEldestEntry(Map.Entry<Long, Entry> e) {
+                return size() > cacheSize;
+            }
+        });
+        int n = Runtime.getRuntime().availableProcessors();
+        for (int i = 0; i < n; i++) {
+            Thread t = new Thread(this::work, "SolverWorker-" + i);
+            t.setDaemon(true);
+            t.start();
+            workers.add(t);
+        }
+    }
+
+    public CompletableFuture<SolveResponse> solve(int[][] board, long budgetMs) {
+        long key = pack(board);
+        if (closed) throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Server shutting down");
+        long budget = (budgetMs <= 0 ? DEFAULT_BUDGET : Math.min(budgetMs, MAX_BUDGET)) * 1000;
+
+        Entry hit = cache.get(key);
+        if (hit != null && hit.budgetMicros() >= budget)
+            return CompletableFuture.completedFuture(new SolveResponse(hit.move(), hit.depth(), true));
+
+        Job job = new Job(key, budget, new CompletableFuture<>());
+        Job running = inFlight.putIfAbsent(key, job);
+        if (running != null && running.budgetMicros() >= budget) return running.result();
+        boolean owner = running == null;
+
+        if (!queue.offer(job)) {
+            if (owner) inFlight.remove(key, job);
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Solver busy");
+        }
+        return job.result();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        closed = true;
+        workers.forEach(Thread::interrupt);
+        List<Job> left = new ArrayList<>();
+        queue.drainTo(left);
+        for (Job j : left) {
+            inFlight.remove(j.key(), j);
+            j.result().completeExceptionally(
+                    new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Server shutting down"));
+        }
+    }
+
+    private record Job(long key, long budgetMicros, CompletableFuture<SolveResponse> result) {}
+
+    /** depth 0 answers are never cached, they only mean the budget ran out */
+    private record Entry(int move, int depth, long budgetMicros) {}
+
+    private void work() {
+        AutoSolver solver = new AutoSolver();
+        while (!Thread.currentThread().isInterrupted()) {
+            Job job;
+            try {
+                job = queue.take();
+            } catch (InterruptedException ex) {
+                return;
+            }
+            try {
+                Entry e = cache.get(job.key());
+                if (e != null && e.budgetMicros() >= job.budgetMicros()) {
+                    job.result().complete(new SolveResponse(e.move(), e.depth(), true));
+                } else {
+                    AutoSolver.Result r = solver.search(PackedBoard.unpack(job.key()), job.budgetMicros());
+                    if (r.depth > 0)
+                        cache.merge(job.key(), new Entry(r.move, r.depth, job.budgetMicros()),
+                                (old, neu) -> old.budgetMicros() > neu.budgetMicros() ? old : neu);
+                    job.result().complete(new SolveResponse(r.move, r.depth, false));
+                }
+            } catch (RuntimeException ex) {
+                job.result().completeExceptionally(ex);
+            } finally {
+                inFlight.remove(job.key(), job);
+            }
+        }
+    }
+
+    /** validates a 4x4 board of powers of two (max 32768) and packs it */
+    private static long pack(int[][] board) {
+        if (board == null || board.length != 4)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "board must be 4x4");
+        for (int[] row : board) {
+            if (row == null || row.length != 4)
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "board must be 4x4");
+            for (int v : row)
+                if (v != 0 && (v < 2 || v > 32768 || Integer.bitCount(v) != 1))
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "invalid tile " + v);
+        }
+        return PackedBoard.pack(board);
+    }
+}
@@ -0,0 +1,84 @@
+package stats;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Log‑bucketed score histogram: exact below 16, then 16 sub‑buckets per power of two
+ * (≤ 6.25 % relative error). Recording is one atomic increment, reads copy the
+ * counters without locking, and two histograms merge by adding buckets.
+ */
+public class ScoreHistogram implements Serializable {
+
+    @Serial private static final long serialVersionUID = 1L;
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB      = 1 << SUB_BITS;
+    private static final int BUCKETS  = (32 - SUB_BITS) * SUB;
+    private static final int TILES    = 32;                      // log2 of the max tile, 0 = unknown
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLongArray tiles  = new AtomicLongArray(TILES);
+
+    public void record(int score, int maxTile) {
+        counts.incrementAndGet(bucket(Math.max(score, 0)));
+        tiles.incrementAndGet(maxTile > 0 ? Integer.numberOfTrailingZeros(Integer.highestOneBit(maxTile)) : 0);
+    }
+
+    public void merge(ScoreHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) counts.addAndGet(i, other.counts.get(i));
+        for (int i = 0; i < TILES; i++)   tiles.addAndGet(i, other.tiles.get(i));
+    }
+
+    public long count() {
+        long n = 0;
+        for (int i = 0; i < BUCKETS; i++) n += counts.get(i);
+        return n;
+    }
+
+    /**
+     * Counters are copied one by one while uploads may still be recording, so this is not
+     * an atomic cut: count and the quantiles come from the same copy and agree with each
+     * other, while maxTiles is read separately and may be off from count by in‑flight uploads.
+     */
+    public Snapshot snapshot() {
+        long[] c = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) total += (c[i] = counts.get(i));
+        Map<Integer, Long> byTile = new TreeMap<>();
+        for (int i = 1; i < TILES; i++) {
+            long n = tiles.get(i);
+            if (n > 0) byTile.put(1 << i, n);
+        }
+        return new Snapshot(total, quantile(c, total, 0.5), quantile(c, total, 0.9), quantile(c, total, 0.99), byTile);
+    }
+
+    public record Snapshot(long count, int median, int p90, int p99, Map<Integer, Long> maxTiles) {}
+
+    /* ---------------- buckets ---------------- */
+    static int bucket(int v) {
+        if (v < SUB) return v;
+        int exp = 31 - Integer.numberOfLeadingZeros(v);          // ≥ SUB_BITS
+        return (exp - SUB_BITS + 1) * SUB + ((v >>> (exp - SUB_BITS)) & (SUB - 1));
+    }
+
+    /** midpoint of the scores that fall into bucket i */
+    static int value(int i) {
+        if (i < SUB) return i;
+        int exp   = i / SUB + SUB_BITS - 1;
+        int shift = exp - SUB_BITS;
+        long low  = (long) (SUB + i % SUB) << shift;
+        return (int) (low + ((1L << shift) - 1) / 2);
+    }
+
+    static int quantile(long[] c, long total, double q) {
+        if (total == 0) return 0;
+        long rank = (long) Math.ceil(q * total), seen = 0;
+        for (int i = 0; i < c.length; i++)
+            if ((seen += c[i]) >= rank) return value(i);
+        return value(c.length - 1);
+    }
+}
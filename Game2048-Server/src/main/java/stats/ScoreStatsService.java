@@ -0,0 +1,86 @@
+package stats;
+
+import entity.Score;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import repository.ScoreRepository;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Keeps the {@link ScoreHistogram} behind GET /scores/stats.
+ * On startup it loads the checkpoint written at the last shutdown, or rescans
+ * {@link ScoreRepository} when there is none or it no longer matches the table.
+ */
+@Service
+public class ScoreStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(ScoreStatsService.class);
+    private static final int PAGE = 1000;
+
+    private final ScoreRepository repo;
+    private final Path checkpoint;
+    private volatile ScoreHistogram histogram = new ScoreHistogram();
+
+    public ScoreStatsService(ScoreRepository r,
+                             @Value("${leaderboard.stats.checkpoint:./leaderboard-stats.bin}") String checkpoint) {
+        this.repo = r;
+        this.checkpoint = Path.of(checkpoint);
+    }
+
+    public void record(int score, int maxTile) { histogram.record(score, maxTile); }
+
+    public ScoreHistogram.Snapshot snapshot() { return histogram.snapshot(); }
+
+    @PostConstruct
+    void init() {
+        ScoreHistogram loaded = load();
+        long rows = repo.count();
+        if (loaded != null && loaded.count() == rows) {
+            histogram = loaded;
+        } else {
+            log.info("Rebuilding score stats from {} scores", rows);
+            histogram = rebuild();
+        }
+    }
+
+    @PreDestroy
+    void save() {
+        try (ObjectOutputStream out = new ObjectOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(checkpoint)))) {
+            out.writeObject(histogram);
+        } catch (IOException ex) {
+            log.warn("Cannot checkpoint score stats to {}", checkpoint, ex);
+        }
+    }
+
+    private ScoreHistogram load() {
+        if (!Files.exists(checkpoint)) return null;
+        try (ObjectInputStream in = new ObjectInputStream(
+                new BufferedInputStream(Files.newInputStream(checkpoint)))) {
+            return (ScoreHistogram) in.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException ex) {
+            log.warn("Ignoring score stats checkpoint {}", checkpoint, ex);
+            return null;
+        }
+    }
+
+    private ScoreHistogram rebuild() {
+        ScoreHistogram h = new ScoreHistogram();
+        Slice<Score> page = repo.findAllBy(PageRequest.of(0, PAGE, Sort.by("id")));
+        while (true) {
+            for (Score s : page) h.record(s.getScore(), s.getMaxTile());
+            if (!page.hasNext()) return h;
+            page = repo.findAllBy(page.nextPageable());
+        }
+    }
+}
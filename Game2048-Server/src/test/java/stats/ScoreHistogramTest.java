@@ -0,0 +1,60 @@
+package stats;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreHistogramTest {
+
+    @Test
+    void exactBelowSixteen() {
+        for (int v = 0; v < 16; v++) {
+            assertEquals(v, ScoreHistogram.bucket(v));
+            assertEquals(v, ScoreHistogram.value(v));
+        }
+    }
+
+    @Test
+    void bucketEdges() {
+        assertEquals(16, ScoreHistogram.bucket(16));
+        assertEquals(16, ScoreHistogram.value(16));
+        assertEquals(31, ScoreHistogram.bucket(31));
+        assertEquals(32, ScoreHistogram.bucket(32));
+        assertEquals(32, ScoreHistogram.bucket(33));          // 32..33 share a bucket
+        assertEquals(32, ScoreHistogram.value(32));
+
+        int b = ScoreHistogram.bucket(1 << 30);
+        assertEquals(b - 1, ScoreHistogram.bucket((1 << 30) - 1));
+        assertEquals((1 << 30) + ((1 << 26) - 1) / 2, ScoreHistogram.value(b));
+        assertEquals(b + 15, ScoreHistogram.bucket(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void valueStaysInItsBucket() {
+        for (int v = 1; v > 0 && v < Integer.MAX_VALUE / 2; v = v * 3 + 1) {
+            int b = ScoreHistogram.bucket(v);
+            assertEquals(b, ScoreHistogram.bucket(ScoreHistogram.value(b)));
+            assertTrue(Math.abs(ScoreHistogram.value(b) - v) <= v / 16.0);
+        }
+    }
+
+    @Test
+    void quantilesOfKnownDistribution() {
+        ScoreHistogram h = new ScoreHistogram();
+        for (int s = 1; s <= 100; s++) h.record(s, s <= 90 ? 256 : 512);
+
+        ScoreHistogram.Snapshot snap = h.snapshot();
+        assertEquals(100, snap.count());
+        assertEquals(50, snap.median());       // bucket 50..51
+        assertEquals(89, snap.p90());          // bucket 88..91
+        assertEquals(97, snap.p99());          // bucket 96..99
+        assertEquals(90L, snap.maxTiles().get(256));
+        assertEquals(10L, snap.maxTiles().get(512));
+    }
+
+    @Test
+    void quantileOfEmptyIsZero() {
+        assertEquals(0, ScoreHistogram.quantile(new long[448], 0, 0.5));
+        assertEquals(0, new ScoreHistogram().snapshot().median());
+    }
+}
@@ -15,14 +15,14 @@ public class NetUtil {
     private static final String BASE = "http://localhost:8080";
     private static final Gson G = new Gson();
 
-    public static void postScore(String name, int score) throws IOException {
+    public static void postScore(String name, int score, int maxTile) throws IOException {
         URL url = new URL(BASE + "/scores");
         HttpURLConnection conn = (HttpURLConnection) url.openConnection();
         conn.setRequestMethod("POST");
         conn.setRequestProperty("Content-Type", "application/json; charset=utf-8");
         conn.setDoOutput(true);
         try (OutputStream os = conn.getOutputStream()) {
-            os.write(G.toJson(new LeaderboardEntry(name, score)).getBytes(StandardCharsets.UTF_8));
+            os.write(G.toJson(new LeaderboardEntry(name, score, maxTile)).getBytes(StandardCharsets.UTF_8));
         }
         if (conn.getResponseCode() != 200)
             throw new IOException("POST /scores failed: HTTP " + conn.getResponseCode());
@@ -4,8 +4,10 @@ package net.dto;
 public class LeaderboardEntry {
     private String name;
     private int score;
+    private int maxTile;
     public LeaderboardEntry() {}  // for Gson
-    public LeaderboardEntry(String name, int score){this.name=name;this.score=score;}
+    public LeaderboardEntry(String name, int score, int maxTile){this.name=name;this.score=score;this.maxTile=maxTile;}
     public String getName(){return name;}
     public int getScore(){return score;}
+    public int getMaxTile(){return maxTile;}
 }
@@ -2,15 +2,22 @@ package ui;
 
 import net.NetUtil;
 import net.dto.LeaderboardEntry;
+import replay.GameRecordWriter;
+import replay.PackedBoard;
 import solver.AutoSolver;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.io.File;
+import java.io.IOException;
 import java.net.URI;
 import java.util.*;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 public class Game2048 extends JFrame implements KeyListener {
     private static final int SIZE = 4;
@@ -28,6 +35,14 @@ public class Game2048 extends JFrame implements KeyListener {
     private volatile boolean aiRunning = false;
     private Thread aiThread;
     private String playerName = "";
+    private long seed;
+    /* -Dgame2048.record=games.g2r streams every game into a binary record.
+       All recorder I/O, including the scan of an existing file on open, runs on one
+       background thread so it never blocks the EDT; tasks keep their submit order. */
+    private final String recordPath = System.getProperty("game2048.record");
+    private final ExecutorService recordExec = recordPath == null || recordPath.isEmpty() ? null
+            : Executors.newSingleThreadExecutor(r -> { Thread t = new Thread(r, "Recorder"); t.setDaemon(true); return t; });
+    private GameRecordWriter recorder;            // only touched on recordExec
 
 
 
@@ -41,27 +56,37 @@ public class Game2048 extends JFrame implements KeyListener {
         int boardPixels = SIZE * TILE_SIZE + (SIZE + 1) * GAP;
         setSize(boardPixels, boardPixels + SCORE_HEIGHT + HINT_HEIGHT + 2*GAP);
         setLocationRelativeTo(null);
+        if (recordExec != null) {
+            recordExec.execute(() -> recorder = openRecorder(recordPath));
+            Runtime.getRuntime().addShutdownHook(new Thread(this::closeRecorder, "RecorderClose"));
+        }
 
         resetGame();
     }
 
     // ---------- game logic ----------
     private void resetGame() {
+        recordEnd();
         for (int i = 0; i < SIZE; ++i) Arrays.fill(board[i], 0);
         score = 0;
+        seed = System.nanoTime();
+        rand.setSeed(seed);
         addRandomTile();
         addRandomTile();
+        recordBegin();
         panel.repaint();
     }
 
-    private void addRandomTile() {
+    /** @return cell index r*SIZE+c of the new tile, -1 if the board is full */
+    private int addRandomTile() {
         List<Point> empty = new ArrayList<>();
         for (int r = 0; r < SIZE; ++r)
             for (int c = 0; c < SIZE; ++c)
                 if (board[r][c] == 0) empty.add(new Point(r, c));
-        if (empty.isEmpty()) return;
+        if (empty.isEmpty()) return -1;
         Point p = empty.get(rand.nextInt(empty.size()));
         board[p.x][p.y] = rand.nextDouble() < 0.9 ? 2 : 4;
+        return p.x * SIZE + p.y;
     }
 
     // ---------- movement ----------
@@ -97,6 +122,12 @@ public class Game2048 extends JFrame implements KeyListener {
     private boolean moveUp()   { rotateLeft(); boolean m=moveLeft(); rotateRight();return m; }
     private boolean moveDown() { rotateRight();boolean m=moveLeft(); rotateLeft(); return m; }
 
+    private int maxTile() {
+        int max = 0;
+        for (int[] row : board) for (int v : row) max = Math.max(max, v);
+        return max;
+    }
+
     private boolean canMove() {
         for (int r = 0; r < SIZE; ++r)
             for (int c = 0; c < SIZE; ++c) {
@@ -107,6 +138,51 @@ public class Game2048 extends JFrame implements KeyListener {
         return false;
     }
 
+    // ---------- recording ----------
+    private static GameRecordWriter openRecorder(String path) {
+        if (path == null || path.isEmpty()) return null;
+        try {
+            return new GameRecordWriter(new File(path));
+        } catch (IOException ex) {
+            System.err.println("Game recording disabled: " + ex.getMessage());
+            return null;
+        }
+    }
+    private interface RecordTask { void run(GameRecordWriter w) throws IOException; }
+
+    /** queues a write; game state must be captured by the caller, not read inside the task */
+    private void record(RecordTask task) {
+        if (recordExec == null) return;
+        recordExec.execute(() -> {
+            if (recorder == null) return;
+            try { task.run(recorder); }
+            catch (IOException ex) { System.err.println("Record failed: " + ex.getMessage()); }
+        });
+    }
+    private void recordBegin() {
+        long s = seed, b = PackedBoard.pack(board);
+        int sc = score;
+        record(w -> w.beginGame(s, "Game2048/" + AutoSolver.VERSION, b, sc));
+    }
+    private void recordMove(int dir, int cell) {
+        if (cell < 0) return;
+        int value = board[cell / SIZE][cell % SIZE], sc = score;
+        long b = PackedBoard.pack(board);
+        record(w -> w.recordMove(dir, cell, value, b, sc));
+    }
+    private void recordEnd() {
+        int sc = score;
+        record(w -> w.endGame(sc));
+    }
+    private void closeRecorder() {
+        try {
+            recordExec.submit(() -> {
+                if (recorder != null) recorder.close();
+                return null;
+            }).get(5, TimeUnit.SECONDS);
+        } catch (Exception ignored) {}
+    }
+
     // ---------- AI ----------
     private void startAI() {
         aiRunning = true;
@@ -157,7 +233,8 @@ public class Game2048 extends JFrame implements KeyListener {
                 case 2: moved = moveUp();    break;
                 case 3: moved = moveDown();  break;
             }
-            if (moved) addRandomTile();
+            if (moved) recordMove(dir, addRandomTile());
+            if (!canMove()) recordEnd();
             SwingUtilities.invokeLater(() -> {
                 panel.repaint();
                 if (!canMove()) { stopAI(); showGameOver(); }
@@ -181,15 +258,15 @@ public class Game2048 extends JFrame implements KeyListener {
                 JOptionPane.YES_NO_OPTION
         );
         if (opt == JOptionPane.YES_OPTION)
-            new LeaderboardWorker(playerName.trim(), score).execute();
+            new LeaderboardWorker(playerName.trim(), score, maxTile()).execute();
     }
 
     /* ---------------- SwingWorker ---------------- */
     private class LeaderboardWorker extends SwingWorker<List<LeaderboardEntry>,Void>{
-        private final String name; private final int sc;
-        LeaderboardWorker(String n, int s){ name=n; sc=s; }
+        private final String name; private final int sc, tile;
+        LeaderboardWorker(String n, int s, int t){ name=n; sc=s; tile=t; }
         @Override protected List<LeaderboardEntry> doInBackground() throws Exception {
-            NetUtil.postScore(name, sc);
+            NetUtil.postScore(name, sc, tile);
             return NetUtil.fetchTopScores();
         }
         @Override protected void done() {